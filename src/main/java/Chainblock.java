@@ -22,6 +22,8 @@ public interface Chainblock extends Iterable<Transaction> {
 
     Iterable<Transaction> getAllOrderedByAmountDescendingThenById();
 
+    Iterable<Transaction> getTopByAmountDescendingThenById(int count);
+
     Iterable<Transaction> getBySenderOrderedByAmountDescending(String sender);
 
     Iterable<Transaction> getByReceiverOrderedByAmountThenById(String receiver);
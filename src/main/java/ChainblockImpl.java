@@ -61,8 +61,7 @@ public class ChainblockImpl implements Chainblock {
         if (transactionList.size() == 0) {
             throw new IllegalArgumentException();
         }
-        transactionList.sort(Comparator.comparing(Transaction::getAmount).reversed());
-        return transactionList;
+        return TransactionSorter.sortByAmountDescendingThenById(transactionList);
     }
 
     public Iterable<String> getAllSendersWithTransactionStatus(TransactionStatus status) {
@@ -82,10 +81,11 @@ public class ChainblockImpl implements Chainblock {
     }
 
     public Iterable<Transaction> getAllOrderedByAmountDescendingThenById() {
-        return this.transactionById.values().stream()
-                .sorted(Comparator.comparing(Transaction::getAmount).reversed()
-                        .thenComparing(Comparator.comparing(Transaction::getId)))
-                .collect(Collectors.toList());
+        return TransactionSorter.sortByAmountDescendingThenById(this.transactionById.values());
+    }
+
+    public Iterable<Transaction> getTopByAmountDescendingThenById(int count) {
+        return TransactionSorter.sortByAmountDescendingThenById(this.transactionById.values(), count);
     }
 
     public Iterable<Transaction> getBySenderOrderedByAmountDescending(String sender) {
@@ -98,8 +98,7 @@ public class ChainblockImpl implements Chainblock {
         if (transactions.size() == 0) {
             throw new IllegalArgumentException();
         }
-        return transactions.stream()
-                .sorted(Comparator.comparing(Transaction::getAmount).reversed()).collect(Collectors.toList());
+        return TransactionSorter.sortByAmountDescendingThenById(transactions);
     }
 
     public Iterable<Transaction> getByReceiverOrderedByAmountThenById(String receiver) {
@@ -112,8 +111,7 @@ public class ChainblockImpl implements Chainblock {
         if (transactions.size() == 0) {
             throw new IllegalArgumentException();
         }
-        return transactions.stream()
-                .sorted(Comparator.comparing(Transaction::getAmount).reversed()).collect(Collectors.toList());
+        return TransactionSorter.sortByAmountDescendingThenById(transactions);
     }
 
     public Iterable<Transaction> getByTransactionStatusAndMaximumAmount(TransactionStatus status, double amount) {
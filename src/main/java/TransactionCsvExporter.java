@@ -0,0 +1,117 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes transactions as CSV records of the form {@code id,status,from,to,amount} under a
+ * {@link TransactionCsvImporter#HEADER} line, the format read by {@link TransactionCsvImporter}.
+ * <p>
+ * Records are encoded one at a time into a reused direct buffer and flushed through a
+ * {@link FileChannel}, so any query result can be exported without collecting it first.
+ * Fields are not quoted, so a sender or receiver containing a comma or a line break is rejected.
+ */
+public class TransactionCsvExporter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final byte[] HEADER = (TransactionCsvImporter.HEADER + "\n").getBytes(StandardCharsets.US_ASCII);
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    private static final byte[][] STATUS_NAMES = new byte[STATUSES.length][];
+
+    static {
+        for (int i = 0; i < STATUSES.length; i++) {
+            STATUS_NAMES[i] = STATUSES[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final byte[] digits = new byte[11];
+
+    /**
+     * Replaces the contents of the file with the given transactions.
+     *
+     * @return the number of records written
+     * @throws IllegalArgumentException if a sender or receiver contains a comma or a line break;
+     *                                  the records before it have already been written
+     */
+    public int exportTo(Path path, Iterable<Transaction> transactions) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            put(channel, buffer, HEADER);
+            int count = 0;
+            for (Transaction transaction : transactions) {
+                writeInt(channel, buffer, transaction.getId());
+                put(channel, buffer, (byte) ',');
+                put(channel, buffer, STATUS_NAMES[transaction.getStatus().ordinal()]);
+                put(channel, buffer, (byte) ',');
+                put(channel, buffer, encodeName(transaction.getFrom()));
+                put(channel, buffer, (byte) ',');
+                put(channel, buffer, encodeName(transaction.getTo()));
+                put(channel, buffer, (byte) ',');
+                put(channel, buffer, Double.toString(transaction.getAmount()).getBytes(StandardCharsets.US_ASCII));
+                put(channel, buffer, (byte) '\n');
+                count++;
+            }
+            flush(channel, buffer);
+            return count;
+        }
+    }
+
+    private static byte[] encodeName(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == ',' || c == '\r' || c == '\n') {
+                throw new IllegalArgumentException("Cannot export name without quoting: " + name);
+            }
+        }
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void writeInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        long remaining = value;
+        if (remaining < 0) {
+            put(channel, buffer, (byte) '-');
+            remaining = -remaining;
+        }
+        int position = this.digits.length;
+        do {
+            this.digits[--position] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        put(channel, buffer, this.digits, position, this.digits.length - position);
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, byte value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush(channel, buffer);
+        }
+        buffer.put(value);
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        put(channel, buffer, bytes, 0, bytes.length);
+    }
+
+    private static void put(FileChannel channel, ByteBuffer buffer, byte[] bytes, int offset, int length)
+            throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer);
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,413 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads transactions from a CSV file with records of the form
+ * {@code id,status,from,to,amount}, one per line.
+ * <p>
+ * The file is memory mapped and split into line-aligned chunks that are parsed in parallel
+ * straight from the mapped bytes. Nothing is added to the chainblock until every chunk has parsed,
+ * so a malformed file leaves it untouched. Records are then added in file order, so a duplicate id
+ * keeps the first occurrence just like repeated {@link Chainblock#add} calls.
+ * A leading UTF-8 byte order mark and a first line equal to {@link #HEADER} are skipped;
+ * any other first line is parsed as a record.
+ */
+public class TransactionCsvImporter {
+
+    public static final String HEADER = "id,status,from,to,amount";
+
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 1L << 28;
+    private static final int MAX_FAST_FRACTION_DIGITS = 22;
+    private static final long MAX_FAST_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = new double[MAX_FAST_FRACTION_DIGITS + 1];
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    private static final byte[][] STATUS_NAMES = new byte[STATUSES.length][];
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NAN = "NaN".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] INFINITY = "Infinity".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        for (int i = 0; i < STATUSES.length; i++) {
+            STATUS_NAMES[i] = STATUSES[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final int parallelism;
+
+    public TransactionCsvImporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public TransactionCsvImporter(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reads every record of the file into the given chainblock.
+     *
+     * @return the number of records read, including ones whose id was already present
+     */
+    public int importFrom(Path path, Chainblock chainblock) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = splitIntoChunks(channel);
+            if (bounds.length == 1) {
+                return 0;
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, bounds.length - 1));
+            List<Future<List<Transaction>>> chunks = new ArrayList<>();
+            try {
+                for (int i = 0; i < bounds.length - 1; i++) {
+                    long start = bounds[i];
+                    long end = bounds[i + 1];
+                    chunks.add(executor.submit(() -> parseChunk(channel, start, end)));
+                }
+                List<List<Transaction>> batches = new ArrayList<>();
+                for (Future<List<Transaction>> chunk : chunks) {
+                    batches.add(awaitChunk(chunk));
+                }
+                int count = 0;
+                for (List<Transaction> batch : batches) {
+                    for (Transaction transaction : batch) {
+                        chainblock.add(transaction);
+                    }
+                    count += batch.size();
+                }
+                return count;
+            } finally {
+                for (Future<List<Transaction>> chunk : chunks) {
+                    chunk.cancel(true);
+                }
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private long[] splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long start = skipHeader(channel, size);
+        long remaining = size - start;
+        if (remaining <= 0) {
+            return new long[]{start};
+        }
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, (remaining + this.parallelism - 1) / this.parallelism);
+        chunkSize = Math.min(chunkSize, MAX_CHUNK_SIZE);
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(start);
+        long position = start;
+        while (position < size) {
+            long next = position + chunkSize >= size ? size : nextLineStart(channel, position + chunkSize, size);
+            bounds.add(next);
+            position = next;
+        }
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long skipHeader(FileChannel channel, long size) throws IOException {
+        ByteBuffer first = ByteBuffer.allocate(BYTE_ORDER_MARK.length + HEADER_BYTES.length + 2);
+        channel.read(first, 0);
+        first.flip();
+        long start = startsWith(first, 0, BYTE_ORDER_MARK) ? BYTE_ORDER_MARK.length : 0;
+        int headerEnd = (int) start + HEADER_BYTES.length;
+        if (!startsWith(first, (int) start, HEADER_BYTES)) {
+            return start;
+        }
+        if (headerEnd == first.limit()) {
+            return size;
+        }
+        if (first.get(headerEnd) == '\n') {
+            return headerEnd + 1;
+        }
+        if (first.get(headerEnd) == '\r' && (headerEnd + 1 == first.limit() || first.get(headerEnd + 1) == '\n')) {
+            return Math.min(headerEnd + 2, size);
+        }
+        return start;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int offset, byte[] prefix) {
+        if (buffer.limit() - offset < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static List<Transaction> awaitChunk(Future<List<Transaction>> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    private static List<Transaction> parseChunk(FileChannel channel, long offset, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, end - offset);
+        List<Transaction> transactions = new ArrayList<>();
+        byte[] scratch = new byte[64];
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException();
+            }
+            int lineEnd = indexOf(buffer, (byte) '\n', lineStart, limit);
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            if (lineEnd > lineStart) {
+                transactions.add(parseLine(buffer, lineStart, lineEnd, offset, scratch));
+            }
+            lineStart = next;
+        }
+        return transactions;
+    }
+
+    private static Transaction parseLine(ByteBuffer buffer, int start, int end, long offset, byte[] scratch) {
+        int c1 = indexOf(buffer, (byte) ',', start, end);
+        int c2 = indexOf(buffer, (byte) ',', c1 + 1, end);
+        int c3 = indexOf(buffer, (byte) ',', c2 + 1, end);
+        int c4 = indexOf(buffer, (byte) ',', c3 + 1, end);
+        if (c4 >= end) {
+            throw malformed(offset + start);
+        }
+        int id = parseInt(buffer, start, c1, offset);
+        TransactionStatus status = parseStatus(buffer, c1 + 1, c2, offset);
+        String from = decode(buffer, c2 + 1, c3, scratch);
+        String to = decode(buffer, c3 + 1, c4, scratch);
+        double amount = parseDouble(buffer, c4 + 1, end, offset, scratch);
+        return new TransactionImpl(id, status, from, to, amount);
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static int parseInt(ByteBuffer buffer, int start, int end, long offset) {
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw malformed(offset + start);
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw malformed(offset + start);
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw malformed(offset + start);
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw malformed(offset + start);
+        }
+        return (int) value;
+    }
+
+    private static TransactionStatus parseStatus(ByteBuffer buffer, int start, int end, long offset) {
+        int length = end - start;
+        for (int s = 0; s < STATUS_NAMES.length; s++) {
+            byte[] name = STATUS_NAMES[s];
+            if (name.length != length) {
+                continue;
+            }
+            int i = 0;
+            while (i < length && buffer.get(start + i) == name[i]) {
+                i++;
+            }
+            if (i == length) {
+                return STATUSES[s];
+            }
+        }
+        throw malformed(offset + start);
+    }
+
+    /**
+     * Parses plain decimals without an exponent directly from the buffer. When the digits fit
+     * in a double's mantissa, the single division by an exact power of ten is correctly rounded,
+     * so the result equals {@link Double#parseDouble}. Other amounts fall back to it once they
+     * are known to match what {@link Double#toString} writes, so Java literal syntax such as
+     * whitespace, a leading {@code +}, type suffixes or hex is rejected.
+     */
+    private static double parseDouble(ByteBuffer buffer, int start, int end, long offset, byte[] scratch) {
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        long mantissa = 0;
+        int fractionDigits = 0;
+        boolean digits = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits = true;
+                if (point) {
+                    fractionDigits++;
+                }
+                if (mantissa >= MAX_FAST_MANTISSA || fractionDigits > MAX_FAST_FRACTION_DIGITS) {
+                    return parseDoubleSlow(buffer, start, end, offset, scratch);
+                }
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                return parseDoubleSlow(buffer, start, end, offset, scratch);
+            }
+        }
+        if (!digits) {
+            throw malformed(offset + start);
+        }
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    private static double parseDoubleSlow(ByteBuffer buffer, int start, int end, long offset, byte[] scratch) {
+        if (!isExportedNumber(buffer, start, end)) {
+            throw malformed(offset + start);
+        }
+        try {
+            return Double.parseDouble(decode(buffer, start, end, scratch));
+        } catch (NumberFormatException e) {
+            throw malformed(offset + start);
+        }
+    }
+
+    /**
+     * Matches {@code NaN}, {@code [-]Infinity} or {@code [-]digits[.digits][E[-]digits]}.
+     */
+    private static boolean isExportedNumber(ByteBuffer buffer, int start, int end) {
+        if (regionEquals(buffer, start, end, NAN)) {
+            return true;
+        }
+        int i = start < end && buffer.get(start) == '-' ? start + 1 : start;
+        if (regionEquals(buffer, i, end, INFINITY)) {
+            return true;
+        }
+        boolean digits = false;
+        boolean point = false;
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                digits = true;
+            } else if (b == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (!digits) {
+            return false;
+        }
+        if (i == end) {
+            return true;
+        }
+        if (buffer.get(i) != 'E') {
+            return false;
+        }
+        i++;
+        if (i < end && buffer.get(i) == '-') {
+            i++;
+        }
+        if (i == end) {
+            return false;
+        }
+        for (; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean regionEquals(ByteBuffer buffer, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end, byte[] scratch) {
+        int length = end - start;
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static IllegalArgumentException malformed(long position) {
+        return new IllegalArgumentException("Malformed transaction record at byte " + position);
+    }
+}
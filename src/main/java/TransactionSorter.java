@@ -0,0 +1,180 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Orders transactions by amount descending, then by id ascending, without boxing.
+ * <p>
+ * Amounts are copied into a {@code long[]} of keys whose signed order matches
+ * {@link Double#compare}, ids into an {@code int[]}, and the three parallel arrays are sorted
+ * together with an introspective quicksort. Ids are unique in a chainblock, so the ordering is
+ * total and the sort does not need to be stable. When only a prefix is wanted, a quickselect
+ * pass discards the tail before the prefix is sorted.
+ */
+public class TransactionSorter {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final Transaction[] transactions;
+    private final long[] keys;
+    private final int[] ids;
+
+    private TransactionSorter(Collection<? extends Transaction> source) {
+        this.transactions = source.toArray(new Transaction[0]);
+        int size = this.transactions.length;
+        this.keys = new long[size];
+        this.ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            Transaction transaction = this.transactions[i];
+            this.keys[i] = sortableKey(transaction.getAmount());
+            this.ids[i] = transaction.getId();
+        }
+    }
+
+    public static List<Transaction> sortByAmountDescendingThenById(Collection<? extends Transaction> source) {
+        return sortByAmountDescendingThenById(source, source.size());
+    }
+
+    /**
+     * Returns at most {@code limit} transactions that come first in the ordering, already sorted.
+     */
+    public static List<Transaction> sortByAmountDescendingThenById(Collection<? extends Transaction> source, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException();
+        }
+        TransactionSorter sorter = new TransactionSorter(source);
+        int size = sorter.transactions.length;
+        int count = Math.min(limit, size);
+        if (count < size) {
+            sorter.select(count);
+        }
+        sorter.sort(0, count, maxDepth(count));
+        List<Transaction> sorted = Arrays.asList(sorter.transactions);
+        return count < size ? new ArrayList<>(sorted.subList(0, count)) : sorted;
+    }
+
+    private static long sortableKey(double amount) {
+        long bits = Double.doubleToLongBits(amount);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static int maxDepth(int size) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(size));
+    }
+
+    private boolean before(int i, int j) {
+        long a = this.keys[i];
+        long b = this.keys[j];
+        return a > b || (a == b && this.ids[i] < this.ids[j]);
+    }
+
+    private void swap(int i, int j) {
+        long key = this.keys[i];
+        this.keys[i] = this.keys[j];
+        this.keys[j] = key;
+        int id = this.ids[i];
+        this.ids[i] = this.ids[j];
+        this.ids[j] = id;
+        Transaction transaction = this.transactions[i];
+        this.transactions[i] = this.transactions[j];
+        this.transactions[j] = transaction;
+    }
+
+    private void select(int count) {
+        int lo = 0;
+        int hi = this.transactions.length;
+        int depth = maxDepth(hi);
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(lo, hi);
+                return;
+            }
+            int pivot = partition(lo, hi);
+            if (pivot < count) {
+                lo = pivot + 1;
+            } else if (pivot > count) {
+                hi = pivot;
+            } else {
+                return;
+            }
+        }
+        insertionSort(lo, hi);
+    }
+
+    private void sort(int lo, int hi, int depth) {
+        while (hi - lo > INSERTION_SORT_THRESHOLD) {
+            if (depth-- == 0) {
+                heapSort(lo, hi);
+                return;
+            }
+            int pivot = partition(lo, hi);
+            if (pivot - lo < hi - pivot) {
+                sort(lo, pivot, depth);
+                lo = pivot + 1;
+            } else {
+                sort(pivot + 1, hi, depth);
+                hi = pivot;
+            }
+        }
+        insertionSort(lo, hi);
+    }
+
+    private int partition(int lo, int hi) {
+        int mid = (lo + hi) >>> 1;
+        int last = hi - 1;
+        if (before(mid, lo)) {
+            swap(mid, lo);
+        }
+        if (before(last, lo)) {
+            swap(last, lo);
+        }
+        if (before(mid, last)) {
+            swap(mid, last);
+        }
+        int store = lo;
+        for (int i = lo; i < last; i++) {
+            if (before(i, last)) {
+                swap(i, store++);
+            }
+        }
+        swap(store, last);
+        return store;
+    }
+
+    private void insertionSort(int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && before(j, j - 1); j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private void heapSort(int lo, int hi) {
+        int size = hi - lo;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(lo, i, size);
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(lo, lo + end);
+            siftDown(lo, 0, end);
+        }
+    }
+
+    private void siftDown(int lo, int root, int size) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && before(lo + child, lo + child + 1)) {
+                child++;
+            }
+            if (!before(lo + root, lo + child)) {
+                return;
+            }
+            swap(lo + root, lo + child);
+            root = child;
+        }
+    }
+}
@@ -4,7 +4,9 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
@@ -221,6 +223,115 @@ public class ChainblockImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testGetAllOrderedByAmountDescendingThenByIdBreaksTiesById() {
+        chainblock.add(new TransactionImpl(7, TransactionStatus.FAILED, "From", "To", 5));
+        chainblock.add(new TransactionImpl(3, TransactionStatus.FAILED, "From", "To", 5));
+        chainblock.add(new TransactionImpl(5, TransactionStatus.FAILED, "From", "To", 9));
+        List<Integer> actual = new ArrayList<>();
+        chainblock.getAllOrderedByAmountDescendingThenById().forEach(t -> actual.add(t.getId()));
+        assertEquals(List.of(5, 3, 7), actual);
+    }
+
+    @Test
+    public void testGetByTransactionStatusBreaksTiesById() {
+        chainblock.add(new TransactionImpl(40, TransactionStatus.FAILED, "From", "To", 5));
+        chainblock.add(new TransactionImpl(17, TransactionStatus.FAILED, "From", "To", 5));
+        chainblock.add(new TransactionImpl(3, TransactionStatus.FAILED, "From", "To", 5));
+        chainblock.add(new TransactionImpl(25, TransactionStatus.FAILED, "From", "To", 9));
+        List<Integer> actual = new ArrayList<>();
+        chainblock.getByTransactionStatus(TransactionStatus.FAILED).forEach(t -> actual.add(t.getId()));
+        assertEquals(List.of(25, 3, 17, 40), actual);
+    }
+
+    @Test
+    public void testGetBySenderOrderedByAmountDescendingBreaksTiesById() {
+        chainblock.add(new TransactionImpl(40, TransactionStatus.FAILED, "From", "To", 5));
+        chainblock.add(new TransactionImpl(17, TransactionStatus.FAILED, "From", "To", 5));
+        chainblock.add(new TransactionImpl(3, TransactionStatus.FAILED, "From", "To", 5));
+        List<Integer> actual = new ArrayList<>();
+        chainblock.getBySenderOrderedByAmountDescending("From").forEach(t -> actual.add(t.getId()));
+        assertEquals(List.of(3, 17, 40), actual);
+    }
+
+    @Test
+    public void testOrderedQueriesMatchComparatorOnLargeShuffledInput() {
+        Comparator<Transaction> order = Comparator.comparing(Transaction::getAmount).reversed()
+                .thenComparing(Transaction::getId);
+        double[] special = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        Random random = new Random(42);
+        for (int size : new int[]{17, 100, 1000, 3000}) {
+            for (int variant = 0; variant < 4; variant++) {
+                Chainblock chainblock = new ChainblockImpl();
+                List<Integer> ids = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    ids.add(i * 3 - size);
+                }
+                Collections.shuffle(ids, random);
+                List<Transaction> transactions = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    double amount;
+                    if (variant == 0) {
+                        amount = random.nextInt(10) == 0 ? special[random.nextInt(special.length)] : random.nextInt(20);
+                    } else if (variant == 1) {
+                        amount = ids.get(i);
+                    } else if (variant == 2) {
+                        // organ-pipe amounts exhaust the quicksort depth and reach the heapsort fallback
+                        int rank = (ids.get(i) + size) / 3;
+                        amount = rank < size / 2 ? rank : size - rank;
+                    } else {
+                        amount = random.nextDouble() * 200 - 100;
+                    }
+                    transactions.add(new TransactionImpl(ids.get(i), TransactionStatus.FAILED, "From", "To", amount));
+                }
+                if (variant == 1) {
+                    transactions.sort(order);
+                }
+                transactions.forEach(chainblock::add);
+                List<Transaction> expected = new ArrayList<>(transactions);
+                expected.sort(order);
+
+                List<Transaction> actual = new ArrayList<>();
+                chainblock.getAllOrderedByAmountDescendingThenById().forEach(actual::add);
+                assertEquals(expected, actual);
+
+                for (int count : new int[]{0, 1, 16, size / 2, size - 1, size}) {
+                    List<Transaction> top = new ArrayList<>();
+                    chainblock.getTopByAmountDescendingThenById(count).forEach(top::add);
+                    assertEquals(expected.subList(0, count), top);
+                }
+            }
+        }
+    }
+
+    //getTopByAmountDescendingThenById
+    @Test
+    public void testGetTopByAmountDescendingThenByIdReturnsOrderedPrefix() {
+        fillChainBlock();
+        List<Transaction> expected = transactionList.stream()
+                .sorted(Comparator.comparing(Transaction::getAmount).reversed()
+                        .thenComparing(Transaction::getId))
+                .limit(2)
+                .collect(Collectors.toList());
+
+        List<Transaction> actual = new ArrayList<>();
+        chainblock.getTopByAmountDescendingThenById(2).forEach(actual::add);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testGetTopByAmountDescendingThenByIdReturnsAllWhenCountExceedsSize() {
+        fillChainBlock();
+        List<Transaction> actual = new ArrayList<>();
+        chainblock.getTopByAmountDescendingThenById(10).forEach(actual::add);
+        assertEquals(transactionList.size(), actual.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetTopByAmountDescendingThenByIdThrowsOnNegativeCount() {
+        chainblock.getTopByAmountDescendingThenById(-1);
+    }
+
     //getBySenderOrderedByAmountDescending
     @Test(expected = IllegalArgumentException.class)
     public void testGetBySenderOrderedByAmountDescendingHasToThrowWhenSenderNotPresent() {
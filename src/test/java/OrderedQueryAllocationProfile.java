@@ -0,0 +1,51 @@
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Prints the bytes allocated and the time taken per call of the amount-ordered queries
+ * on one million transactions. Run its {@code main} with the test classpath and a heap of
+ * about 2 GB; allocation is read from {@link com.sun.management.ThreadMXBean}.
+ */
+public class OrderedQueryAllocationProfile {
+
+    private static final int TRANSACTIONS = 1_000_000;
+    private static final int WARMUP_CALLS = 5;
+    private static final int MEASURED_CALLS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Object sink;
+
+    public static void main(String[] args) {
+        Chainblock chainblock = new ChainblockImpl();
+        Random random = new Random(7);
+        TransactionStatus[] statuses = TransactionStatus.values();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            chainblock.add(new TransactionImpl(i, statuses[random.nextInt(statuses.length)],
+                    "F" + random.nextInt(4), "T" + random.nextInt(4),
+                    Math.round(random.nextDouble() * 1e4) / 100.0));
+        }
+
+        measure("getAllOrderedByAmountDescendingThenById", () -> sink = chainblock.getAllOrderedByAmountDescendingThenById());
+        measure("getByTransactionStatus", () -> sink = chainblock.getByTransactionStatus(TransactionStatus.FAILED));
+        measure("getBySenderOrderedByAmountDescending", () -> sink = chainblock.getBySenderOrderedByAmountDescending("F1"));
+        measure("getByReceiverOrderedByAmountThenById", () -> sink = chainblock.getByReceiverOrderedByAmountThenById("T1"));
+        measure("getTopByAmountDescendingThenById(100)", () -> sink = chainblock.getTopByAmountDescendingThenById(100));
+    }
+
+    private static void measure(String name, Runnable query) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            query.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long allocated = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            query.run();
+        }
+        System.out.printf("%-40s %8.1f MB/call %8.1f ms/call%n", name,
+                (THREADS.getThreadAllocatedBytes(thread) - allocated) / 1e6 / MEASURED_CALLS,
+                (System.nanoTime() - start) / 1e6 / MEASURED_CALLS);
+    }
+}
@@ -0,0 +1,239 @@
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.fail;
+
+public class TransactionCsvImporterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Chainblock chainblock;
+    private TransactionCsvImporter importer;
+
+    @Before
+    public void setUp() {
+        this.chainblock = new ChainblockImpl();
+        this.importer = new TransactionCsvImporter(4);
+    }
+
+    private Path write(String content) throws IOException {
+        Path path = this.folder.newFile().toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void testImportAddsEveryRecord() throws IOException {
+        Path path = write("id,status,from,to,amount\n"
+                + "1,FAILED,From,To,10.50\n"
+                + "2,SUCCESSFUL,From,To,10.60\r\n"
+                + "-3,ABORTED,Ivan,\u041c\u0430\u0440\u0438\u044f,-0.25");
+        Assert.assertEquals(3, this.importer.importFrom(path, this.chainblock));
+        Assert.assertEquals(3, this.chainblock.getCount());
+        Assert.assertEquals(new TransactionImpl(1, TransactionStatus.FAILED, "From", "To", 10.50),
+                this.chainblock.getById(1));
+        Assert.assertEquals(new TransactionImpl(2, TransactionStatus.SUCCESSFUL, "From", "To", 10.60),
+                this.chainblock.getById(2));
+        Assert.assertEquals(new TransactionImpl(-3, TransactionStatus.ABORTED, "Ivan", "\u041c\u0430\u0440\u0438\u044f", -0.25),
+                this.chainblock.getById(-3));
+    }
+
+    @Test
+    public void testImportKeepsFirstRecordWhenDuplicateId() throws IOException {
+        Path path = write("1,FAILED,From,To,10.50\n1,SUCCESSFUL,From,To,99\n");
+        this.importer.importFrom(path, this.chainblock);
+        Assert.assertEquals(1, this.chainblock.getCount());
+        Assert.assertEquals(TransactionStatus.FAILED, this.chainblock.getById(1).getStatus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportThrowsOnUnknownStatus() throws IOException {
+        Path path = write("1,PENDING,From,To,10.50\n");
+        this.importer.importFrom(path, this.chainblock);
+    }
+
+    @Test
+    public void testExportedTransactionsImportBackUnchanged() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            TransactionStatus status = TransactionStatus.values()[i % TransactionStatus.values().length];
+            transactions.add(new TransactionImpl(i, status, "From" + i % 7, "To" + i % 13, i / 3.0));
+        }
+        Path path = this.folder.newFile().toPath();
+        Assert.assertEquals(transactions.size(), new TransactionCsvExporter().exportTo(path, transactions));
+
+        Assert.assertEquals(transactions.size(), this.importer.importFrom(path, this.chainblock));
+        for (Transaction transaction : transactions) {
+            Assert.assertEquals(transaction, this.chainblock.getById(transaction.getId()));
+        }
+    }
+
+    @Test
+    public void testImportSkipsByteOrderMarkAndReadsFirstRecord() throws IOException {
+        Path path = write("\uFEFF1,FAILED,a,b,1\n");
+        Assert.assertEquals(1, this.importer.importFrom(path, this.chainblock));
+        Assert.assertEquals(new TransactionImpl(1, TransactionStatus.FAILED, "a", "b", 1),
+                this.chainblock.getById(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportThrowsOnUnrecognisedFirstLine() throws IOException {
+        Path path = write("+1,FAILED,a,b,1\n");
+        this.importer.importFrom(path, this.chainblock);
+    }
+
+    @Test
+    public void testImportOfEmptyFileReadsNothing() throws IOException {
+        Assert.assertEquals(0, this.importer.importFrom(write(""), this.chainblock));
+        Assert.assertEquals(0, this.chainblock.getCount());
+    }
+
+    @Test
+    public void testImportOfHeaderOnlyFileReadsNothing() throws IOException {
+        Assert.assertEquals(0, this.importer.importFrom(write(TransactionCsvImporter.HEADER + "\r\n"), this.chainblock));
+        Assert.assertEquals(0, this.importer.importFrom(write(TransactionCsvImporter.HEADER), this.chainblock));
+        Assert.assertEquals(0, this.chainblock.getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportThrowsOnTooFewFields() throws IOException {
+        this.importer.importFrom(write("1,FAILED,From,10.50\n"), this.chainblock);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportThrowsOnBadId() throws IOException {
+        this.importer.importFrom(write("1x,FAILED,From,To,10.50\n"), this.chainblock);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testImportThrowsOnIdOverflow() throws IOException {
+        this.importer.importFrom(write("2147483648,FAILED,From,To,10.50\n"), this.chainblock);
+    }
+
+    @Test
+    public void testImportReadsExtremeIds() throws IOException {
+        Path path = write("2147483647,FAILED,From,To,1\n-2147483648,FAILED,From,To,2\n");
+        Assert.assertEquals(2, this.importer.importFrom(path, this.chainblock));
+        Assert.assertTrue(this.chainblock.contains(Integer.MAX_VALUE));
+        Assert.assertTrue(this.chainblock.contains(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testImportParsesExponentAndSpecialAmounts() throws IOException {
+        Path path = write("1,FAILED,a,b,1.0E10\n"
+                + "2,FAILED,a,b,NaN\n"
+                + "3,FAILED,a,b,Infinity\n"
+                + "4,FAILED,a,b,-Infinity\n"
+                + "5,FAILED,a,b,4.9E-324\n"
+                + "6,FAILED,a,b,12345678901234567890.5\n");
+        this.importer.importFrom(path, this.chainblock);
+        Assert.assertEquals(1.0E10, this.chainblock.getById(1).getAmount(), 0);
+        Assert.assertTrue(Double.isNaN(this.chainblock.getById(2).getAmount()));
+        Assert.assertEquals(Double.POSITIVE_INFINITY, this.chainblock.getById(3).getAmount(), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, this.chainblock.getById(4).getAmount(), 0);
+        Assert.assertEquals(Double.MIN_VALUE, this.chainblock.getById(5).getAmount(), 0);
+        Assert.assertEquals(12345678901234567890.5, this.chainblock.getById(6).getAmount(), 0);
+    }
+
+    @Test
+    public void testImportRejectsAmountsOutsideExportedFormat() throws IOException {
+        String[] amounts = {" 5", "5 ", "5d", "5f", "5.0D", "0x1p3", "+5", "+5.0E3", "1e3", "1.0E", "1.0E+3",
+                "-NaN", "+Infinity", "Inf", "", "-", ".", "1..2", "5E3.0"};
+        for (String amount : amounts) {
+            try {
+                this.importer.importFrom(write("1,FAILED,a,b," + amount + "\n"), this.chainblock);
+                fail("accepted amount '" + amount + "'");
+            } catch (IllegalArgumentException expected) {
+                Assert.assertEquals(0, this.chainblock.getCount());
+            }
+        }
+    }
+
+    @Test
+    public void testImportAcceptsAmountsInExportedFormat() throws IOException {
+        Path path = write("1,FAILED,a,b,-1.5E-7\n"
+                + "2,FAILED,a,b,7E3\n"
+                + "3,FAILED,a,b,.5\n"
+                + "4,FAILED,a,b,-Infinity\n");
+        Assert.assertEquals(4, this.importer.importFrom(path, this.chainblock));
+        Assert.assertEquals(-1.5E-7, this.chainblock.getById(1).getAmount(), 0);
+        Assert.assertEquals(7000, this.chainblock.getById(2).getAmount(), 0);
+        Assert.assertEquals(0.5, this.chainblock.getById(3).getAmount(), 0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, this.chainblock.getById(4).getAmount(), 0);
+    }
+
+    @Test
+    public void testImportOfMalformedLargeFileAddsNothing() throws IOException {
+        StringBuilder content = new StringBuilder();
+        int records = 0;
+        while (content.length() < 4 * (1 << 20)) {
+            content.append(records).append(",SUCCESSFUL,From,To,").append(records).append(".25\n");
+            records++;
+        }
+        content.append(records).append(",PENDING,From,To,1\n");
+        Path path = write(content.toString());
+        try {
+            this.importer.importFrom(path, this.chainblock);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            Assert.assertEquals(0, this.chainblock.getCount());
+        }
+    }
+
+    @Test
+    public void testExportWritesHeaderAndRecords() throws IOException {
+        List<Transaction> transactions = List.of(
+                new TransactionImpl(-7, TransactionStatus.UNAUTHORIZED, "From", "To", 0.1),
+                new TransactionImpl(Integer.MIN_VALUE, TransactionStatus.FAILED, "a", "b", 1e300));
+        Path path = this.folder.newFile().toPath();
+        Assert.assertEquals(2, new TransactionCsvExporter().exportTo(path, transactions));
+        Assert.assertEquals(TransactionCsvImporter.HEADER + "\n"
+                        + "-7,UNAUTHORIZED,From,To,0.1\n"
+                        + "-2147483648,FAILED,a,b,1.0E300\n",
+                Files.readString(path));
+    }
+
+    @Test
+    public void testExportedSpecialAmountsImportBackUnchanged() throws IOException {
+        double[] amounts = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE, Double.MAX_VALUE, -0.0, 1e-7, 123456789.123};
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < amounts.length; i++) {
+            transactions.add(new TransactionImpl(i, TransactionStatus.FAILED, "From", "To", amounts[i]));
+        }
+        Path path = this.folder.newFile().toPath();
+        new TransactionCsvExporter().exportTo(path, transactions);
+        this.importer.importFrom(path, this.chainblock);
+        for (Transaction transaction : transactions) {
+            Assert.assertEquals(transaction, this.chainblock.getById(transaction.getId()));
+        }
+    }
+
+    @Test
+    public void testNameWithCommaIsRejectedOnExportAndImport() throws IOException {
+        Path path = this.folder.newFile().toPath();
+        try {
+            new TransactionCsvExporter().exportTo(path,
+                    List.of(new TransactionImpl(1, TransactionStatus.FAILED, "Smith, J", "To", 1.0)));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            this.importer.importFrom(write("1,FAILED,Smith, J,To,1.0\n"), this.chainblock);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            Assert.assertEquals(0, this.chainblock.getCount());
+        }
+    }
+}